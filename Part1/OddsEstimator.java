@@ -0,0 +1,269 @@
+import java.util.SplittableRandom;
+
+// Estimates each horse's chance of winning by simulating the race many times without a window.
+// Races are simulated in batches until every horse's 95% confidence interval is within the
+// requested tolerance, so close contests get more samples and lopsided fields stop early.
+public class OddsEstimator {
+    private static final double Z_95 = 1.96; // 95% confidence level
+    private static final int PAIRS_PER_BATCH = 250; // Each pair is a race plus its antithetic twin
+    private static final long DEFAULT_MAX_SAMPLES = 2_000_000;
+
+    private final int raceLength;
+    private final String[] names;
+    private final double[] confidences; // Snapshot so the estimate never changes the real horses
+    private final long seed;
+    private long maxSamples = DEFAULT_MAX_SAMPLES;
+
+    // Create an estimator for the given horses, one per lane in lane order
+    public OddsEstimator(int raceLength, Horse[] horses) {
+        this(raceLength, horses, System.nanoTime());
+    }
+
+    // Same as above but with a fixed seed so the estimate can be repeated exactly
+    public OddsEstimator(int raceLength, Horse[] horses, long seed) {
+        if (raceLength < 1) {
+            throw new IllegalArgumentException("Race length must be at least 1");
+        }
+        if (horses == null || horses.length == 0) {
+            throw new IllegalArgumentException("There must be at least one horse");
+        }
+
+        this.raceLength = raceLength;
+        this.names = new String[horses.length];
+        this.confidences = new double[horses.length];
+        for (int i = 0; i < horses.length; i++) {
+            if (horses[i] == null) {
+                throw new IllegalArgumentException("Lane " + (i + 1) + " has no horse");
+            }
+            // A horse with no confidence never moves or falls, so the race could never end
+            if (!(horses[i].getConfidence() > 0 && horses[i].getConfidence() <= 1)) {
+                throw new IllegalArgumentException("Lane " + (i + 1) + " confidence must be above 0 and at most 1");
+            }
+            names[i] = horses[i].getName();
+            confidences[i] = horses[i].getConfidence();
+        }
+        this.seed = seed;
+    }
+
+    // Upper limit on races simulated, in case the tolerance is too tight to ever reach
+    public void setMaxSamples(long maxSamples) {
+        if (maxSamples < 2) {
+            throw new IllegalArgumentException("At least 2 samples are needed");
+        }
+        this.maxSamples = maxSamples;
+    }
+
+    // Run batches until every win probability is known to within +/- tolerance (or maxSamples is hit)
+    public Estimate estimate(double tolerance) {
+        if (!(tolerance > 0 && tolerance < 1)) {
+            throw new IllegalArgumentException("Tolerance must be between 0 and 1");
+        }
+
+        int lanes = confidences.length;
+
+        // Per pair we record the average of the race and its twin (0, 0.5 or 1), so the
+        // variance we measure already includes the benefit of the antithetic draw.
+        // The extra slot at the end counts races where every horse fell.
+        double[] sum = new double[lanes + 1];
+        double[] sumSquares = new double[lanes + 1];
+        double[] halfWidths = new double[lanes + 1];
+        int[] outcome = new int[2];
+
+        // Common random numbers: each lane gets its own stream that depends only on the seed and
+        // the lane number. This does not make a single estimate less noisy (the antithetic twin
+        // does that), but two setups estimated with the same seed see the same draws in every
+        // lane, so the difference between their odds is less noisy than with different seeds
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] laneRoots = new SplittableRandom[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            laneRoots[lane] = root.split();
+        }
+        SplittableRandom[] laneRandoms = new SplittableRandom[lanes];
+        long maxPairs = maxSamples / 2; // Races come in pairs, so an odd limit rounds down
+        long pairs = 0;
+        boolean accurateEnough = false;
+
+        while (!accurateEnough && pairs < maxPairs) {
+            long batch = Math.min(PAIRS_PER_BATCH, maxPairs - pairs);
+            for (long b = 0; b < batch; b++) {
+                for (int lane = 0; lane < lanes; lane++) {
+                    laneRandoms[lane] = laneRoots[lane].split();
+                }
+
+                simulatePair(laneRandoms, outcome);
+                for (int slot = 0; slot <= lanes; slot++) {
+                    double y = ((outcome[0] == slot ? 1 : 0) + (outcome[1] == slot ? 1 : 0)) / 2.0;
+                    sum[slot] += y;
+                    sumSquares[slot] += y * y;
+                }
+            }
+            pairs += batch;
+
+            accurateEnough = true;
+            for (int slot = 0; slot <= lanes; slot++) {
+                halfWidths[slot] = halfWidth(sum[slot], sumSquares[slot], pairs);
+                if (halfWidths[slot] > tolerance) {
+                    accurateEnough = false;
+                }
+            }
+        }
+
+        double[] probabilities = new double[lanes];
+        double[] errorBounds = new double[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            probabilities[lane] = sum[lane] / pairs;
+            errorBounds[lane] = halfWidths[lane];
+        }
+
+        return new Estimate(names.clone(), probabilities, errorBounds,
+                sum[lanes] / pairs, halfWidths[lanes], pairs * 2, accurateEnough);
+    }
+
+    // 95% half-width from the pair averages. A zero-variance result (e.g. a horse that has
+    // never won) is not treated as exact: the bound never drops below the "rule of three" 3/n.
+    // n counts pairs, not races, because a race and its twin are not independent.
+    private static double halfWidth(double sum, double sumSquares, long pairs) {
+        if (pairs < 2) {
+            return 1.0;
+        }
+        double mean = sum / pairs;
+        double variance = Math.max(0, (sumSquares - pairs * mean * mean) / (pairs - 1));
+        double clt = Z_95 * Math.sqrt(variance / pairs);
+        return Math.max(clt, 3.0 / pairs);
+    }
+
+    // Run a race and its antithetic twin side by side. The twin uses 1 - u wherever the
+    // first race uses u, so a lucky run for a horse is paired with an unlucky one.
+    // outcome[0] and outcome[1] receive the winning lane, or the lane count if everyone fell.
+    private void simulatePair(SplittableRandom[] laneRandoms, int[] outcome) {
+        int lanes = confidences.length;
+        int[] distance = new int[lanes];
+        int[] twinDistance = new int[lanes];
+        boolean[] fallen = new boolean[lanes];
+        boolean[] twinFallen = new boolean[lanes];
+        int standing = lanes;
+        int twinStanding = lanes;
+        outcome[0] = -1;
+        outcome[1] = -1;
+
+        while (outcome[0] < 0 || outcome[1] < 0) {
+            for (int lane = 0; lane < lanes; lane++) {
+                double c = confidences[lane];
+                double fallChance = Race.FALL_BASE_RATE * c * c;
+
+                // Always take both draws so the lane's stream stays aligned for the twin
+                double moveDraw = laneRandoms[lane].nextDouble();
+                double fallDraw = laneRandoms[lane].nextDouble();
+
+                if (outcome[0] < 0 && !fallen[lane]) {
+                    if (moveDraw < c) {
+                        distance[lane]++;
+                    }
+                    if (fallDraw < fallChance) {
+                        fallen[lane] = true;
+                        standing--;
+                    }
+                }
+                if (outcome[1] < 0 && !twinFallen[lane]) {
+                    if (1.0 - moveDraw < c) {
+                        twinDistance[lane]++;
+                    }
+                    if (1.0 - fallDraw < fallChance) {
+                        twinFallen[lane] = true;
+                        twinStanding--;
+                    }
+                }
+            }
+
+            // Same rule as Race.getWinner: the lowest lane over the line wins a tie
+            if (outcome[0] < 0) {
+                outcome[0] = finishedLane(distance, standing);
+            }
+            if (outcome[1] < 0) {
+                outcome[1] = finishedLane(twinDistance, twinStanding);
+            }
+        }
+    }
+
+    // Winning lane, the lane count if nobody is left standing, or -1 if the race carries on
+    private int finishedLane(int[] distance, int standing) {
+        for (int lane = 0; lane < distance.length; lane++) {
+            if (distance[lane] >= raceLength) {
+                return lane;
+            }
+        }
+        return standing == 0 ? distance.length : -1;
+    }
+
+    // The result of an estimate: win probability and +/- error bound for each lane
+    public static class Estimate {
+        private final String[] names;
+        private final double[] winProbabilities;
+        private final double[] errorBounds;
+        private final double noWinnerProbability;
+        private final double noWinnerErrorBound;
+        private final long samples;
+        private final boolean withinTolerance;
+
+        private Estimate(String[] names, double[] winProbabilities, double[] errorBounds,
+                double noWinnerProbability, double noWinnerErrorBound, long samples, boolean withinTolerance) {
+            this.names = names;
+            this.winProbabilities = winProbabilities;
+            this.errorBounds = errorBounds;
+            this.noWinnerProbability = noWinnerProbability;
+            this.noWinnerErrorBound = noWinnerErrorBound;
+            this.samples = samples;
+            this.withinTolerance = withinTolerance;
+        }
+
+        // Lanes are 1-indexed, the same as Race.addHorse
+
+        public String getName(int laneNumber) {
+            return names[laneNumber - 1];
+        }
+
+        public double getWinProbability(int laneNumber) {
+            return winProbabilities[laneNumber - 1];
+        }
+
+        public double getErrorBound(int laneNumber) {
+            return errorBounds[laneNumber - 1];
+        }
+
+        public int getNumberOfLanes() {
+            return names.length;
+        }
+
+        // Chance that every horse falls and nobody finishes
+        public double getNoWinnerProbability() {
+            return noWinnerProbability;
+        }
+
+        public double getNoWinnerErrorBound() {
+            return noWinnerErrorBound;
+        }
+
+        // Number of races simulated (twins included)
+        public long getSamples() {
+            return samples;
+        }
+
+        // False if maxSamples ran out before the tolerance was reached
+        public boolean isWithinTolerance() {
+            return withinTolerance;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < names.length; i++) {
+                sb.append(String.format("%s: %.1f%% (+/- %.1f%%)%n",
+                        names[i], winProbabilities[i] * 100, errorBounds[i] * 100));
+            }
+            sb.append(String.format("No winner: %.1f%% (+/- %.1f%%)%n",
+                    noWinnerProbability * 100, noWinnerErrorBound * 100));
+            sb.append("Races simulated: ").append(samples);
+            return sb.toString();
+        }
+    }
+}
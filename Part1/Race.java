@@ -1,12 +1,14 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 public class Race extends JFrame {
     private int raceLength; // How long the track is (how many steps to reach the finish)
     private Horse[] lanes; // Each array position is a lane
     private JTextArea raceDisplay; // Where we print the track (text-based race display)
-    private static final double FALL_BASE_RATE = 0.01; // Base probability of falling
+    static final double FALL_BASE_RATE = 0.01; // Base probability of falling (shared with OddsEstimator)
+    private Random random = new Random(); // Source of every move and fall in this race
 
     // Create the race window and setup the lanes
     public Race(int distance, int numberOfHorses) {
@@ -46,6 +48,11 @@ public class Race extends JFrame {
         }
     }
 
+    // Use a fixed seed so a race simulated by Season can be replayed exactly in this window
+    public void setRandomSeed(long seed) {
+        random = new Random(seed);
+    }
+
     // Start the race using a SwingWorker
     public void startRace(RaceCompletionHandler handler) {
         SwingWorker<Void, Void> raceWorker = new SwingWorker<Void, Void>() {
@@ -58,10 +65,10 @@ public class Race extends JFrame {
                     horse.goBackToStart();
                 }
 
-                // Loop until a horse reaches the finish line
+                // Loop until a horse reaches the finish line (or every horse has fallen)
                 while (!finished) {
                     for (Horse horse : lanes) {
-                        moveHorse(horse);
+                        moveHorse(horse, random);
                     }
 
                     SwingUtilities.invokeLater(Race.this::printRace);
@@ -71,6 +78,9 @@ public class Race extends JFrame {
                             break;
                         }
                     }
+                    if (allFallen()) {
+                        finished = true;
+                    }
 
                     TimeUnit.MILLISECONDS.sleep(100);
                 }
@@ -79,6 +89,12 @@ public class Race extends JFrame {
                 SwingUtilities.invokeLater(new Runnable() {
                     @Override
                     public void run() {
+                        // Nobody crossed the line, so the handler gets an empty winner
+                        if (getWinner().isEmpty()) {
+                            raceDisplay.append("\nThere is no winner, every horse has fallen");
+                            handler.onRaceCompleted("");
+                            return;
+                        }
                         for (Horse horse : lanes) {
                             if (raceWonBy(horse)) {
                                 raceDisplay.append("\nAnd the winner is " + horse.getName());
@@ -97,17 +113,18 @@ public class Race extends JFrame {
     }
 
     // Move a horse based on confidence (and sometimes make it fall)
-    private void moveHorse(Horse theHorse) {
+    // Shared with Season, which must use the random numbers in exactly the same order
+    static void moveHorse(Horse theHorse, Random random) {
         if (!theHorse.hasFallen()) {
             double c = theHorse.getConfidence();
 
             // Move forward with probability = confidence
-            if (Math.random() < c) {
+            if (random.nextDouble() < c) {
                 theHorse.moveForward();
             }
 
             // Fall probability per tick
-            if (Math.random() < (FALL_BASE_RATE * c * c)) {
+            if (random.nextDouble() < (FALL_BASE_RATE * c * c)) {
                 theHorse.fall();
             }
         }
@@ -118,6 +135,16 @@ public class Race extends JFrame {
         return theHorse.getDistanceTravelled() >= raceLength;
     }
 
+    // Check if every horse has fallen, in which case nobody can finish
+    private boolean allFallen() {
+        for (Horse horse : lanes) {
+            if (!horse.hasFallen()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // Draw the whole track for every horse
     private void printRace() {
         raceDisplay.setText(""); // Clear the display before printing each update
@@ -154,8 +181,8 @@ public class Race extends JFrame {
         raceDisplay.append("| " + theHorse.getName() + " (Current confidence " + theHorse.getConfidence() + ")");
     }
 
-    // Winner gets more confidence, others lose a bit
-    private void updateConfidence(Horse winner, Horse[] losers) {
+    // Winner gets more confidence, others lose a bit (also used by Season between races)
+    static void updateConfidence(Horse winner, Horse[] losers) {
         winner.setConfidence(Math.min(1.0, Math.round((winner.getConfidence() + 0.1) * 10.0) / 10.0));
         for (Horse loser : losers) {
             if (loser != winner) {
@@ -174,6 +201,17 @@ public class Race extends JFrame {
         return "";
     }
 
+    // Estimate each lane's chance of winning to within +/- tolerance (e.g. 0.01 for 1%)
+    public OddsEstimator.Estimate estimateOdds(double tolerance) {
+        return new OddsEstimator(raceLength, lanes).estimate(tolerance);
+    }
+
+    // Same as above with a fixed seed. Use the same seed for two setups (e.g. before and after
+    // changing one horse) so they share random numbers and the difference is easier to see
+    public OddsEstimator.Estimate estimateOdds(double tolerance, long seed) {
+        return new OddsEstimator(raceLength, lanes, seed).estimate(tolerance);
+    }
+
     // Helper method to repeat a character
     private static String repeatChar(char c, int count) {
         if (count <= 0)
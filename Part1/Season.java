@@ -0,0 +1,422 @@
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Runs a whole season of races without a window. Each league plays a number of rounds, and
+// every round is one or more stages of heats whose best horses go through, until the field is
+// small enough for a single final (at most heatSize horses). Confidence changes
+// after every race (the same rule as Race) and is carried forward to the next one.
+// Leagues never share horses, so they are run in parallel.
+public class Season {
+    private final int raceLength;
+    private final int rounds; // Rounds played each time run() is called
+    private final int heatSize; // Most horses allowed in one heat
+    private final int qualifiersPerHeat; // How many horses from each heat go through to the next stage
+    private final SplittableRandom seeds; // Gives each league its own random stream
+    private final List<League> leagues = new ArrayList<League>();
+    private final Map<Horse, League> leagueOfHorse = new IdentityHashMap<Horse, League>();
+
+    // Create a season; the same seed and leagues always give the same season
+    public Season(int raceLength, int rounds, int heatSize, int qualifiersPerHeat, long seed) {
+        if (raceLength < 1) {
+            throw new IllegalArgumentException("Race length must be at least 1");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("There must be at least one round");
+        }
+        // With heats of 2, dealing 3 horses would leave one horse racing alone
+        if (heatSize < 3) {
+            throw new IllegalArgumentException("The heat size must be at least 3");
+        }
+        if (qualifiersPerHeat < 1 || qualifiersPerHeat >= heatSize) {
+            throw new IllegalArgumentException("Qualifiers per heat must be at least 1 and less than the heat size");
+        }
+
+        this.raceLength = raceLength;
+        this.rounds = rounds;
+        this.heatSize = heatSize;
+        this.qualifiersPerHeat = qualifiersPerHeat;
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    // Add a league of horses. A horse can only be in one league, because leagues run at the same time
+    public League addLeague(String name, List<Horse> horses) {
+        if (horses == null || horses.size() < 2) {
+            throw new IllegalArgumentException("League " + name + " needs at least 2 horses");
+        }
+        for (Horse horse : horses) {
+            if (horse == null) {
+                throw new IllegalArgumentException("League " + name + " contains a missing horse");
+            }
+            if (leagueOfHorse.containsKey(horse)) {
+                throw new IllegalArgumentException(horse.getName() + " is already in league "
+                        + leagueOfHorse.get(horse).getName());
+            }
+        }
+
+        League league = new League(name, horses, seeds.split());
+        for (Horse horse : horses) {
+            leagueOfHorse.put(horse, league);
+        }
+        leagues.add(league);
+        return league;
+    }
+
+    public List<League> getLeagues() {
+        return Collections.unmodifiableList(leagues);
+    }
+
+    public int getRaceLength() {
+        return raceLength;
+    }
+
+    // Play the next set of rounds in every league. Calling it again continues the season.
+    public void run() {
+        if (leagues.isEmpty()) {
+            return;
+        }
+
+        int threads = Math.min(leagues.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (League league : leagues) {
+                tasks.add(() -> {
+                    league.playRounds();
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Season was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A league failed to finish", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Total races run so far across all leagues
+    public int getNumberOfRaces() {
+        int total = 0;
+        for (League league : leagues) {
+            total += league.getRaces().size();
+        }
+        return total;
+    }
+
+    // Replay one race in the normal Race window. The horses are copies at the confidence they
+    // had before that race and the same seed is used, so the race plays out exactly as it did
+    // in the season, and the season's horses are left untouched.
+    public void watchRace(RaceRecord record) {
+        SwingUtilities.invokeLater(() -> {
+            Race race = new Race(raceLength, record.getNumberOfHorses());
+            race.setTitle("Horse Race Simulation - " + record);
+            race.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE); // Closing a replay keeps the program running
+
+            for (int i = 0; i < record.getNumberOfHorses(); i++) {
+                Horse copy = new Horse(record.names[i], record.symbols[i], record.startingConfidences[i]);
+                race.addHorse(copy, i + 1); // lanes are 1-indexed
+            }
+
+            race.setRandomSeed(record.seed);
+            race.startRace(winner -> {
+            });
+        });
+    }
+
+    // Run one race with the same rules and the same order of random numbers as Race.startRace
+    // Returns the field in finishing order: the winner, then horses still standing, then fallen horses
+    private List<Horse> runRace(List<Horse> field, long raceSeed) {
+        Random random = new Random(raceSeed);
+        for (Horse horse : field) {
+            horse.goBackToStart();
+        }
+
+        Horse winner = null;
+        boolean anyoneStanding = true;
+        while (winner == null && anyoneStanding) {
+            anyoneStanding = false;
+            for (Horse horse : field) {
+                Race.moveHorse(horse, random);
+                if (!horse.hasFallen()) {
+                    anyoneStanding = true;
+                }
+            }
+            for (Horse horse : field) {
+                if (horse.getDistanceTravelled() >= raceLength) {
+                    winner = horse;
+                    break;
+                }
+            }
+        }
+
+        final Horse first = winner;
+        List<Horse> order = new ArrayList<Horse>(field);
+        order.sort((a, b) -> {
+            if (a == first || b == first) {
+                return a == first ? -1 : 1;
+            }
+            if (a.hasFallen() != b.hasFallen()) {
+                return a.hasFallen() ? 1 : -1;
+            }
+            return b.getDistanceTravelled() - a.getDistanceTravelled();
+        });
+        return order;
+    }
+
+    // One league: its horses, their standings and confidence history, and every race they ran
+    public class League {
+        private final String name;
+        private final List<Horse> horses;
+        private final SplittableRandom random;
+        private final Map<Horse, Standing> standings = new LinkedHashMap<Horse, Standing>();
+        private final Map<Horse, List<Double>> trajectories = new LinkedHashMap<Horse, List<Double>>();
+        private final List<RaceRecord> races = new ArrayList<RaceRecord>();
+        private int roundsPlayed = 0;
+
+        private League(String name, List<Horse> horses, SplittableRandom random) {
+            this.name = name;
+            this.horses = new ArrayList<Horse>(horses);
+            this.random = random;
+
+            for (Horse horse : horses) {
+                standings.put(horse, new Standing(horse));
+                List<Double> trajectory = new ArrayList<Double>();
+                trajectory.add(horse.getConfidence()); // Confidence at the start of the season
+                trajectories.put(horse, trajectory);
+            }
+        }
+
+        // Play this season's rounds: stages of heats until the field fits in one final
+        private void playRounds() {
+            for (int r = 0; r < rounds; r++) {
+                roundsPlayed++;
+
+                // Shuffle the horses so the heats are different every round
+                List<Horse> finalists = new ArrayList<Horse>(horses);
+                for (int i = finalists.size() - 1; i > 0; i--) {
+                    Collections.swap(finalists, i, random.nextInt(i + 1));
+                }
+
+                int stage = 1;
+                while (finalists.size() > heatSize) {
+                    finalists = playStage(finalists, stage);
+                    stage++;
+                }
+
+                // Points for the final: last place gets 1, each place higher gets 1 more
+                List<Horse> finishingOrder = playRace(finalists, "Final");
+                for (int place = 0; place < finishingOrder.size(); place++) {
+                    Standing standing = standings.get(finishingOrder.get(place));
+                    standing.finals++;
+                    standing.points += finishingOrder.size() - place;
+                }
+            }
+        }
+
+        // Deal the field out into even heats and return the horses that go through.
+        // A stage only runs with more than heatSize (at least 3) horses, so every heat gets at
+        // least 2 horses. Every heat knocks out at least one horse but sends at least one
+        // through, so each stage makes the field smaller and the final always has 2 or more.
+        private List<Horse> playStage(List<Horse> field, int stage) {
+            int numberOfHeats = (field.size() + heatSize - 1) / heatSize;
+            List<Horse> qualifiers = new ArrayList<Horse>();
+            for (int heat = 0; heat < numberOfHeats; heat++) {
+                List<Horse> heatField = new ArrayList<Horse>();
+                for (int i = heat; i < field.size(); i += numberOfHeats) {
+                    heatField.add(field.get(i));
+                }
+                List<Horse> finishingOrder = playRace(heatField, "Stage " + stage + " Heat " + (heat + 1));
+                int goThrough = Math.min(qualifiersPerHeat, heatField.size() - 1);
+                qualifiers.addAll(finishingOrder.subList(0, goThrough));
+            }
+            return qualifiers;
+        }
+
+        // Run one race, record it, and carry the new confidence forward
+        private List<Horse> playRace(List<Horse> field, String stage) {
+            if (field.size() < 2) {
+                throw new IllegalStateException(stage + " in league " + name + " has fewer than 2 horses");
+            }
+            long raceSeed = random.nextLong();
+            RaceRecord record = new RaceRecord(name, races.size() + 1, roundsPlayed, stage, field, raceSeed);
+
+            List<Horse> finishingOrder = runRace(field, raceSeed);
+            Horse winner = finishingOrder.get(0);
+            boolean someoneFinished = winner.getDistanceTravelled() >= raceLength;
+
+            if (someoneFinished) {
+                Race.updateConfidence(winner, field.toArray(new Horse[0]));
+                standings.get(winner).wins++;
+            }
+            for (Horse horse : field) {
+                standings.get(horse).races++;
+                trajectories.get(horse).add(horse.getConfidence());
+            }
+
+            record.finish(finishingOrder, someoneFinished);
+            races.add(record);
+            return finishingOrder;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRoundsPlayed() {
+            return roundsPlayed;
+        }
+
+        // Standings sorted by points, then wins
+        public List<Standing> getStandings() {
+            List<Standing> table = new ArrayList<Standing>(standings.values());
+            table.sort((a, b) -> a.points != b.points ? b.points - a.points : b.wins - a.wins);
+            return table;
+        }
+
+        // Confidence at the start of the season and after every race this horse ran in
+        public List<Double> getConfidenceTrajectory(Horse horse) {
+            List<Double> trajectory = trajectories.get(horse);
+            if (trajectory == null) {
+                throw new IllegalArgumentException(horse.getName() + " is not in league " + name);
+            }
+            return Collections.unmodifiableList(trajectory);
+        }
+
+        // Every race in this league, in the order they were run
+        public List<RaceRecord> getRaces() {
+            return Collections.unmodifiableList(races);
+        }
+
+        // Race by its number in this league (1-indexed)
+        public RaceRecord getRace(int raceNumber) {
+            if (raceNumber < 1 || raceNumber > races.size()) {
+                throw new IllegalArgumentException("League " + name + " has no race " + raceNumber);
+            }
+            return races.get(raceNumber - 1);
+        }
+    }
+
+    // A horse's season so far
+    public static class Standing {
+        private final Horse horse;
+        private int points;
+        private int wins;
+        private int finals;
+        private int races;
+
+        private Standing(Horse horse) {
+            this.horse = horse;
+        }
+
+        public Horse getHorse() {
+            return horse;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getFinals() {
+            return finals;
+        }
+
+        public int getRaces() {
+            return races;
+        }
+    }
+
+    // Everything needed to show a race's result or replay it in a Race window
+    public static class RaceRecord {
+        private final String leagueName;
+        private final int raceNumber;
+        private final int round;
+        private final String stage;
+        private final long seed;
+        private final String[] names; // In lane order
+        private final char[] symbols;
+        private final double[] startingConfidences;
+        private List<String> finishingOrder;
+        private String winner = ""; // Empty if every horse fell
+
+        private RaceRecord(String leagueName, int raceNumber, int round, String stage, List<Horse> field, long seed) {
+            this.leagueName = leagueName;
+            this.raceNumber = raceNumber;
+            this.round = round;
+            this.stage = stage;
+            this.seed = seed;
+
+            names = new String[field.size()];
+            symbols = new char[field.size()];
+            startingConfidences = new double[field.size()];
+            for (int i = 0; i < field.size(); i++) {
+                names[i] = field.get(i).getName();
+                symbols[i] = field.get(i).getSymbol();
+                startingConfidences[i] = field.get(i).getConfidence();
+            }
+        }
+
+        private void finish(List<Horse> order, boolean someoneFinished) {
+            finishingOrder = new ArrayList<String>();
+            for (Horse horse : order) {
+                finishingOrder.add(horse.getName());
+            }
+            if (someoneFinished) {
+                winner = finishingOrder.get(0);
+            }
+        }
+
+        public String getLeagueName() {
+            return leagueName;
+        }
+
+        public int getRaceNumber() {
+            return raceNumber;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public int getNumberOfHorses() {
+            return names.length;
+        }
+
+        public List<String> getFinishingOrder() {
+            return Collections.unmodifiableList(finishingOrder);
+        }
+
+        public String getWinner() {
+            return winner;
+        }
+
+        @Override
+        public String toString() {
+            return leagueName + " race " + raceNumber + " (Round " + round + ", " + stage + ")";
+        }
+    }
+}
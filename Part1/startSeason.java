@@ -0,0 +1,92 @@
+import java.util.ArrayList;
+import java.util.List;
+
+public class startSeason {
+    private static final String USAGE = "Usage: java startSeason [leagues] [horsesPerLeague] [rounds] [watchLeague watchRace]";
+
+    // Main method to run a whole season without a window and print the standings
+    public static void main(String[] args) {
+        int numberOfLeagues = 8;
+        int horsesPerLeague = 10;
+        int rounds = 200;
+        int watchLeague = 0;
+        int watchRace = 0;
+
+        // The league and race to watch only make sense together
+        if (args.length == 4 || args.length > 5) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            if (args.length > 0)
+                numberOfLeagues = Integer.parseInt(args[0]);
+            if (args.length > 1)
+                horsesPerLeague = Integer.parseInt(args[1]);
+            if (args.length > 2)
+                rounds = Integer.parseInt(args[2]);
+            if (args.length > 4) {
+                watchLeague = Integer.parseInt(args[3]);
+                watchRace = Integer.parseInt(args[4]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (numberOfLeagues < 1 || horsesPerLeague < 2 || rounds < 1) {
+            System.out.println("There must be at least 1 league, 2 horses per league and 1 round");
+            System.out.println(USAGE);
+            return;
+        }
+
+        // Race length 50, heats of up to 5 horses, top 2 of each heat reach the final
+        Season season = new Season(50, rounds, 5, 2, System.nanoTime());
+        for (int l = 1; l <= numberOfLeagues; l++) {
+            List<Horse> horses = new ArrayList<Horse>();
+            for (int h = 1; h <= horsesPerLeague; h++) {
+                horses.add(new Horse("League " + l + " Horse " + h, '♘', 0.5));
+            }
+            season.addLeague("League " + l, horses);
+        }
+
+        long start = System.currentTimeMillis();
+        season.run();
+        long elapsed = System.currentTimeMillis() - start;
+
+        for (Season.League league : season.getLeagues()) {
+            System.out.println("\n" + league.getName() + " standings");
+            int position = 1;
+            for (Season.Standing standing : league.getStandings()) {
+                List<Double> trajectory = league.getConfidenceTrajectory(standing.getHorse());
+                System.out.println(position + ". " + standing.getHorse().getName()
+                        + " - " + standing.getPoints() + " points, " + standing.getWins() + " wins in "
+                        + standing.getRaces() + " races, confidence " + trajectory.get(0)
+                        + " -> " + trajectory.get(trajectory.size() - 1));
+                position++;
+            }
+        }
+        System.out.println("\nSimulated " + season.getNumberOfRaces() + " races in " + elapsed + " ms");
+
+        // Optionally replay one of the races in the normal Race window
+        if (args.length == 5) {
+            if (watchLeague < 1 || watchLeague > numberOfLeagues) {
+                System.out.println("There is no league " + watchLeague);
+                System.out.println(USAGE);
+                return;
+            }
+
+            Season.League league = season.getLeagues().get(watchLeague - 1);
+            if (watchRace < 1 || watchRace > league.getRaces().size()) {
+                System.out.println(league.getName() + " has no race " + watchRace);
+                System.out.println(USAGE);
+                return;
+            }
+
+            Season.RaceRecord record = league.getRace(watchRace);
+            String winner = record.getWinner().isEmpty() ? "nobody (all fell)" : record.getWinner();
+            System.out.println("Watching " + record + ", won by " + winner);
+            season.watchRace(record);
+        }
+    }
+}
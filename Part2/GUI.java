@@ -4,6 +4,7 @@ import java.awt.*;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class GUI {
     // Main window
@@ -14,6 +15,10 @@ public class GUI {
 
     private JLabel resultLabel;
 
+    // Kept so they can be disabled while a race or season is running
+    private JButton startRaceButton;
+    private JButton seasonButton;
+
     // We store horses and the UI inputs in lists so we can access them by index
     private List<JTextField> nameFields;
     private List<JTextField> symbolFields;
@@ -103,7 +108,7 @@ public class GUI {
         JButton betButton = new JButton("Place Bet");
         betButton.addActionListener(e -> placeBet(moneyLabel));
 
-        JButton startRaceButton = new JButton("Start Race");
+        startRaceButton = new JButton("Start Race");
         startRaceButton.addActionListener(e -> startRace(raceLength, moneyLabel));
 
         JButton resetButton = new JButton("Start New Game");
@@ -127,6 +132,9 @@ public class GUI {
             moneyLabel.setText("Money: $" + playerMoney);
         });
 
+        seasonButton = new JButton("Run Season");
+        seasonButton.addActionListener(e -> runSeason(raceLength));
+
         JPanel buttonPanel = new JPanel(new GridLayout(2, 4, 8, 8));
         buttonPanel.add(applyCustomisationsButton);
         buttonPanel.add(betButton);
@@ -134,7 +142,7 @@ public class GUI {
         buttonPanel.add(resetButton);
         buttonPanel.add(saveButton);
         buttonPanel.add(loadButton);
-        buttonPanel.add(new JLabel()); // Filler
+        buttonPanel.add(seasonButton);
         buttonPanel.add(new JLabel()); // Filler
 
         root.add(buttonPanel, BorderLayout.SOUTH);
@@ -299,6 +307,7 @@ public class GUI {
     // Starts the race and handles the result
     private void startRace(int raceLength, JLabel moneyLabel) {
         resultLabel.setText("The race is on!");
+        seasonButton.setEnabled(false); // The season would change these horses mid-race
 
         // Create the race window and add all horses
         race = new Race(raceLength, horses.size());
@@ -308,8 +317,14 @@ public class GUI {
         }
 
         race.startRace(winner -> {
-            resultLabel.setText("The winner is: " + winner);
-            JOptionPane.showMessageDialog(frame, "Congratulations! " + winner + " won the race.");
+            seasonButton.setEnabled(true);
+            if (winner.isEmpty()) {
+                resultLabel.setText("No winner, every horse fell!");
+                JOptionPane.showMessageDialog(frame, "Every horse fell, so nobody won the race.");
+            } else {
+                resultLabel.setText("The winner is: " + winner);
+                JOptionPane.showMessageDialog(frame, "Congratulations! " + winner + " won the race.");
+            }
 
             // Check bet result
             if (bettedHorse != null && winner.equals(bettedHorse.getName())) {
@@ -326,6 +341,106 @@ public class GUI {
         });
     }
 
+    // Runs a season with these horses as one league, shows the standings and lets the user watch a race
+    private void runSeason(int raceLength) {
+        String input = JOptionPane.showInputDialog(frame, "Enter the number of rounds (between 1 and 1000):");
+        if (input == null)
+            return;
+
+        int rounds;
+        try {
+            rounds = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(frame, "Please enter a valid number.");
+            return;
+        }
+        if (rounds < 1 || rounds > 1000) {
+            JOptionPane.showMessageDialog(frame, "Please enter a valid number between 1 and 1000.");
+            return;
+        }
+
+        // The season runs on copies so it never touches the horses in a Race window
+        List<Horse> seasonHorses = new ArrayList<Horse>();
+        for (Horse horse : horses) {
+            Horse copy = new Horse(horse.getName(), horse.getSymbol(), horse.getConfidence());
+            seasonHorses.add(copy);
+        }
+
+        // Heats of up to 5 horses, the top 2 of each heat reach the final
+        Season season = new Season(raceLength, rounds, 5, 2, System.nanoTime());
+        Season.League league = season.addLeague("Season", seasonHorses);
+
+        resultLabel.setText("The season is running...");
+        startRaceButton.setEnabled(false); // The confidences are copied back when the season ends
+        seasonButton.setEnabled(false);
+
+        // Run the season in the background so the window stays responsive
+        SwingWorker<Void, Void> seasonWorker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                season.run();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                startRaceButton.setEnabled(true);
+                seasonButton.setEnabled(true);
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    resultLabel.setText("The season could not finish.");
+                    JOptionPane.showMessageDialog(frame, "The season could not finish.");
+                    return;
+                }
+
+                // Confidence is carried forward, so the horses keep it after the season
+                for (int i = 0; i < horses.size(); i++) {
+                    horses.get(i).setConfidence(seasonHorses.get(i).getConfidence());
+                }
+
+                resultLabel.setText("The season is over!");
+                showSeasonResults(season, league);
+            }
+        };
+
+        seasonWorker.execute();
+    }
+
+    // Shows the standings and every race of a finished season, then lets the user watch one
+    private void showSeasonResults(Season season, Season.League league) {
+        StringBuilder table = new StringBuilder();
+        int position = 1;
+        for (Season.Standing standing : league.getStandings()) {
+            table.append(position).append(". ").append(standing.getHorse().getName())
+                    .append(" - ").append(standing.getPoints()).append(" points, ")
+                    .append(standing.getWins()).append(" wins, confidence ")
+                    .append(standing.getHorse().getConfidence()).append("\n");
+            position++;
+        }
+        table.append("\nRaces:\n");
+        for (Season.RaceRecord record : league.getRaces()) {
+            table.append(record.getRaceNumber()).append(". Round ").append(record.getRound())
+                    .append(", ").append(record.getStage()).append(" - won by ")
+                    .append(record.getWinner().isEmpty() ? "nobody (all fell)" : record.getWinner()).append("\n");
+        }
+
+        JTextArea standingsArea = new JTextArea(table.toString(), 20, 50);
+        standingsArea.setEditable(false);
+        JOptionPane.showMessageDialog(frame, new JScrollPane(standingsArea), "Season Standings",
+                JOptionPane.PLAIN_MESSAGE);
+
+        String raceInput = JOptionPane.showInputDialog(frame,
+                "Enter a race number to watch (1 to " + league.getRaces().size() + "), or cancel:");
+        if (raceInput == null)
+            return;
+        try {
+            season.watchRace(league.getRace(Integer.parseInt(raceInput.trim())));
+        } catch (IllegalArgumentException e) { // Also covers NumberFormatException
+            JOptionPane.showMessageDialog(frame, "There is no such race.");
+        }
+    }
+
     // Gets the number of horses from the user
     private int getNumberOfHorses() {
         int numberOfHorses = 0;